@@ -0,0 +1,132 @@
+/*******************************************************************************
+** MultivariateInformation.java
+** Part of the Java Mutual Information toolbox
+**
+** Author: Adam Pocock
+** Created: 18/10/2026
+**
+**  Copyright 2012-2016 Adam Pocock, The University Of Manchester
+**  www.cs.manchester.ac.uk
+**
+**  This file is part of JavaMI.
+**
+**  JavaMI is free software: you can redistribute it and/or modify
+**  it under the terms of the GNU Lesser General Public License as published by
+**  the Free Software Foundation, either version 3 of the License, or
+**  (at your option) any later version.
+**
+**  JavaMI is distributed in the hope that it will be useful,
+**  but WITHOUT ANY WARRANTY; without even the implied warranty of
+**  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+**  GNU Lesser General Public License for more details.
+**
+**  You should have received a copy of the GNU Lesser General Public License
+**  along with JavaMI.  If not, see <http://www.gnu.org/licenses/>.
+**
+*******************************************************************************/
+
+package JavaMI;
+
+/**
+ * Implements discrete information functions of k random variables.
+ * Provides: Total Correlation C(X_1,...,X_k),
+ *           Multivariate Mutual Information (co-information) I(X_1;...;X_k),
+ *           Interaction Information II(X_1;...;X_k).
+ * Each function makes a single pass over the data to build a MultivariateProbabilityState,
+ * and calculates all the lower order entropies from that joint count table.
+ * Defaults to log_2, and so the information is calculated in bits.
+ * @author apocock
+ */
+public abstract class MultivariateInformation
+{
+  private MultivariateInformation() {}
+
+  /**
+   * Calculates the Total Correlation C(X_1,...,X_k) between k random variables.
+   * C(X_1,...,X_k) = sum_i H(X_i) - H(X_1,...,X_k).
+   * Uses histograms to estimate the probability distributions, and thus the information.
+   * The total correlation is bounded 0 &#8804; C(X_1,...,X_k) &#8804; sum_i H(X_i) - max_i H(X_i),
+   * and for two variables it is equal to the Mutual Information I(X_1;X_2).
+   *
+   * @param  vectors  Input vectors, one per variable. Each is discretised to the floor of each value before calculation.
+   * @return The Total Correlation C(X_1,...,X_k).
+   */
+  public static double calculateTotalCorrelation(double[][] vectors)
+  {
+    MultivariateProbabilityState state = new MultivariateProbabilityState(vectors);
+    double[] entropies = state.calculateSubsetEntropies();
+
+    double totalCorrelation = 0.0;
+    for (int i = 0; i < state.numVariables; i++)
+    {
+      totalCorrelation += entropies[1 << i];
+    }
+    totalCorrelation -= entropies[entropies.length - 1];
+
+    return totalCorrelation;
+  }//calculateTotalCorrelation(double [][])
+
+  /**
+   * Calculates the Multivariate Mutual Information I(X_1;...;X_k) between k random variables,
+   * also known as the co-information.
+   * I(X_1;...;X_k) = - sum_{T &#8838; {X_1,...,X_k}} (-1)^|T| H(T).
+   * Uses histograms to estimate the probability distributions, and thus the information.
+   * For two variables it is equal to the Mutual Information I(X_1;X_2), and for three variables
+   * I(X;Y;Z) = I(X;Y) - I(X;Y|Z). For three or more variables it may be negative.
+   *
+   * @param  vectors  Input vectors, one per variable. Each is discretised to the floor of each value before calculation.
+   * @return The Multivariate Mutual Information I(X_1;...;X_k).
+   */
+  public static double calculateMultivariateMutualInformation(double[][] vectors)
+  {
+    MultivariateProbabilityState state = new MultivariateProbabilityState(vectors);
+    double[] entropies = state.calculateSubsetEntropies();
+
+    return calculateCoInformation(entropies);
+  }//calculateMultivariateMutualInformation(double [][])
+
+  /**
+   * Calculates the Interaction Information II(X_1;...;X_k) between k random variables,
+   * using McGill's sign convention.
+   * II(X_1;...;X_k) = - sum_{T &#8838; {X_1,...,X_k}} (-1)^(k - |T|) H(T).
+   * Uses histograms to estimate the probability distributions, and thus the information.
+   * It differs from the Multivariate Mutual Information by a factor of (-1)^k, so for three
+   * variables II(X;Y;Z) = I(X;Y|Z) - I(X;Y). Positive values indicate synergy between the
+   * variables and negative values indicate redundancy.
+   *
+   * @param  vectors  Input vectors, one per variable. Each is discretised to the floor of each value before calculation.
+   * @return The Interaction Information II(X_1;...;X_k).
+   */
+  public static double calculateInteractionInformation(double[][] vectors)
+  {
+    MultivariateProbabilityState state = new MultivariateProbabilityState(vectors);
+    double[] entropies = state.calculateSubsetEntropies();
+
+    double coInformation = calculateCoInformation(entropies);
+
+    return (state.numVariables % 2 == 0) ? coInformation : -coInformation;
+  }//calculateInteractionInformation(double [][])
+
+  /**
+   * Sums the subset entropies with alternating signs, giving the co-information.
+   * entropies must be indexed by subset bitmask, as returned by
+   * MultivariateProbabilityState.calculateSubsetEntropies().
+   */
+  private static double calculateCoInformation(double[] entropies)
+  {
+    double coInformation = 0.0;
+    for (int mask = 1; mask < entropies.length; mask++)
+    {
+      if (Integer.bitCount(mask) % 2 == 1)
+      {
+        coInformation += entropies[mask];
+      }
+      else
+      {
+        coInformation -= entropies[mask];
+      }
+    }
+
+    return coInformation;
+  }//calculateCoInformation(double [])
+}//class MultivariateInformation
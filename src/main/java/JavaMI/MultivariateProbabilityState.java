@@ -0,0 +1,251 @@
+/*******************************************************************************
+** MultivariateProbabilityState.java
+** Part of the Java Mutual Information toolbox
+**
+** Author: Adam Pocock
+** Created: 18/10/2026
+**
+**  Copyright 2012-2016 Adam Pocock, The University Of Manchester
+**  www.cs.manchester.ac.uk
+**
+**  This file is part of JavaMI.
+**
+**  JavaMI is free software: you can redistribute it and/or modify
+**  it under the terms of the GNU Lesser General Public License as published by
+**  the Free Software Foundation, either version 3 of the License, or
+**  (at your option) any later version.
+**
+**  JavaMI is distributed in the hope that it will be useful,
+**  but WITHOUT ANY WARRANTY; without even the implied warranty of
+**  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+**  GNU Lesser General Public License for more details.
+**
+**  You should have received a copy of the GNU Lesser General Public License
+**  along with JavaMI.  If not, see <http://www.gnu.org/licenses/>.
+**
+*******************************************************************************/
+
+package JavaMI;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+/**
+ * Calculates the counts of each state in a joint random variable made up of
+ * k variables. Provides the base for all functions of more than two variables.
+ *
+ * The joint count table is built in a single pass over the data, and the entropy
+ * of every subset of the variables is then calculated by marginalising that table
+ * in memory, so no further passes over the data are required.
+ *
+ * @author apocock
+ */
+public class MultivariateProbabilityState
+{
+  /**
+   * The largest number of variables supported, as subsets are indexed by an int bitmask.
+   */
+  public static final int MAX_VARIABLES = 30;
+
+  public final int numVariables;
+  public final int numSamples;
+  public final int[] maxVals;
+
+  //each row of jointStates is a distinct joint state, jointCounts holds its count
+  private final int[][] jointStates;
+  private final int[] jointCounts;
+
+  /**
+   * Constructor for the MultivariateProbabilityState class. Takes k data vectors and
+   * counts the occurrences of each joint state, storing them in a table.
+   *
+   * All vectors must be the same length.
+   * @param  vectors  Input vectors, one per variable. Each is discretised to the floor of each value.
+   */
+  public MultivariateProbabilityState(double[][] vectors)
+  {
+    numVariables = vectors.length;
+    if ((numVariables < 1) || (numVariables > MAX_VARIABLES))
+    {
+      throw new IllegalArgumentException("Number of variables must be between 1 and "
+                                         + MAX_VARIABLES + ", found " + numVariables);
+    }
+
+    numSamples = vectors[0].length;
+    maxVals = new int[numVariables];
+
+    //round input to integers
+    int[][] normalisedVectors = new int[numVariables][];
+    for (int j = 0; j < numVariables; j++)
+    {
+      if (vectors[j].length != numSamples)
+      {
+        throw new IllegalArgumentException("Vector " + j + " has length " + vectors[j].length
+                                           + ", expected " + numSamples);
+      }
+      normalisedVectors[j] = new int[numSamples];
+      maxVals[j] = ProbabilityState.normaliseArray(vectors[j],normalisedVectors[j]);
+    }
+
+    HashMap<StateKey,Integer> jointCountMap = new HashMap<StateKey,Integer>();
+    StateKey jointVal;
+    Integer count;
+
+    for (int i = 0; i < numSamples; i++)
+    {
+      int[] state = new int[numVariables];
+      for (int j = 0; j < numVariables; j++)
+      {
+        state[j] = normalisedVectors[j][i];
+      }
+      jointVal = new StateKey(state);
+
+      count = jointCountMap.get(jointVal);
+      if (count == null)
+      {
+        jointCountMap.put(jointVal,1);
+      }
+      else
+      {
+        jointCountMap.put(jointVal,count + 1);
+      }
+    }
+
+    jointStates = new int[jointCountMap.size()][];
+    jointCounts = new int[jointCountMap.size()];
+    int index = 0;
+    for (Entry<StateKey,Integer> e : jointCountMap.entrySet())
+    {
+      jointStates[index] = e.getKey().state;
+      jointCounts[index] = e.getValue();
+      index++;
+    }
+  }//constructor(double[][])
+
+  /**
+   * Calculates the joint entropy of every subset of the variables by marginalising
+   * the joint count table.
+   *
+   * The returned array is indexed by a bitmask over the variables, so element
+   * ((1 &lt;&lt; i) | (1 &lt;&lt; j)) holds H(X_i,X_j). The empty subset has entropy 0.
+   * Each subset table is obtained from the table of its parent in the subset lattice
+   * by summing out a single variable, and only one path through the lattice is held
+   * in memory at a time.
+   *
+   * @return The entropy of each subset of the variables, calculated with Entropy.LOG_BASE.
+   */
+  public double[] calculateSubsetEntropies()
+  {
+    double[] entropies = new double[1 << numVariables];
+    int fullMask = (1 << numVariables) - 1;
+
+    marginaliseSubsets(jointStates,jointCounts,fullMask,0,entropies);
+
+    return entropies;
+  }//calculateSubsetEntropies()
+
+  /**
+   * Records the entropy of the subset described by mask, then recursively removes each
+   * variable with index &#8805; firstVariable. Removing variables in increasing index order
+   * visits each subset exactly once.
+   */
+  private void marginaliseSubsets(int[][] states, int[] counts, int mask, int firstVariable, double[] entropies)
+  {
+    entropies[mask] = calculateEntropy(counts);
+
+    for (int j = firstVariable; j < numVariables; j++)
+    {
+      if ((mask & (1 << j)) != 0)
+      {
+        HashMap<StateKey,Integer> marginalCountMap = new HashMap<StateKey,Integer>();
+        StateKey marginalVal;
+        Integer count;
+
+        for (int i = 0; i < states.length; i++)
+        {
+          int[] state = states[i].clone();
+          //the removed variable is fixed at 0 so the states collapse together
+          state[j] = 0;
+          marginalVal = new StateKey(state);
+
+          count = marginalCountMap.get(marginalVal);
+          if (count == null)
+          {
+            marginalCountMap.put(marginalVal,counts[i]);
+          }
+          else
+          {
+            marginalCountMap.put(marginalVal,count + counts[i]);
+          }
+        }
+
+        int[][] marginalStates = new int[marginalCountMap.size()][];
+        int[] marginalCounts = new int[marginalCountMap.size()];
+        int index = 0;
+        for (Entry<StateKey,Integer> e : marginalCountMap.entrySet())
+        {
+          marginalStates[index] = e.getKey().state;
+          marginalCounts[index] = e.getValue();
+          index++;
+        }
+
+        marginaliseSubsets(marginalStates,marginalCounts,mask & ~(1 << j),j + 1,entropies);
+      }
+    }
+  }//marginaliseSubsets(int[][],int[],int,int,double[])
+
+  /**
+   * Calculates the entropy of a distribution given as a table of counts.
+   */
+  private double calculateEntropy(int[] counts)
+  {
+    double doubleLength = numSamples;
+    double prob;
+
+    double entropy = 0.0;
+    for (int count : counts)
+    {
+      prob = count / doubleLength;
+      if (prob > 0)
+      {
+        entropy -= prob * Math.log(prob);
+      }
+    }
+
+    entropy /= Math.log(Entropy.LOG_BASE);
+
+    return entropy;
+  }//calculateEntropy(int[])
+
+  /**
+   * Wraps a joint state so it can be used as a HashMap key.
+   */
+  private static final class StateKey
+  {
+    final int[] state;
+    private final int hash;
+
+    StateKey(int[] state)
+    {
+      this.state = state;
+      this.hash = Arrays.hashCode(state);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if (!(obj instanceof StateKey))
+      {
+        return false;
+      }
+      return Arrays.equals(state,((StateKey) obj).state);
+    }
+  }//class StateKey
+}//class MultivariateProbabilityState